@@ -9,16 +9,23 @@ import dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.FeatureTree;
 import dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.FixDescription;
 import dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.TreeAlgebra;
 import dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.TreeCoAlgebra;
+import dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.Tuple2;
+import dev.nullzwo.junit.summarizer.TicketIndex.Reference;
 import org.junit.platform.engine.TestTag;
 import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.TestPlan;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.regex.Matcher;
 import java.util.stream.Stream;
 
 import static dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.UNLINKED_JIRA_KEY;
@@ -32,10 +39,23 @@ import static java.util.stream.Collectors.toSet;
 public class Algebras {
     private final TestPlan testPlan;
     private final Set<TestIdentifier> aborted;
+    private final String jiraUrl;
+    private final Map<TestIdentifier, ReportedMetrics> reported;
+    private final SourceLocator sourceLocator;
+    private final TicketIndex tickets = new TicketIndex();
 
     public Algebras(TestPlan testPlan, Set<TestIdentifier> aborted) {
+        this(testPlan, aborted, VAM_JIRA_URL, Map.of(),
+             SourceLocator.forSourceRoots(SourceLocator.DEFAULT_SOURCE_ROOT));
+    }
+
+    public Algebras(TestPlan testPlan, Set<TestIdentifier> aborted, String jiraUrl,
+                    Map<TestIdentifier, ReportedMetrics> reported, SourceLocator sourceLocator) {
         this.testPlan = testPlan;
         this.aborted = aborted;
+        this.jiraUrl = jiraUrl;
+        this.reported = reported;
+        this.sourceLocator = sourceLocator;
     }
 
     public static boolean isFeature(TestIdentifier id) {
@@ -56,6 +76,42 @@ public class Algebras {
         return aborted;
     }
 
+    public SourceLocator getSourceLocator() {
+        return sourceLocator;
+    }
+
+    /**
+     * @return index of all ticket keys linked by {@link #showDescription} so far
+     */
+    public TicketIndex getTickets() {
+        return tickets;
+    }
+
+    /**
+     * Sums up the metrics reported by the scenarios and their children, e.g. invocations of parameterized tests.
+     */
+    private Map<String, Long> sumMetrics(Collection<TestIdentifier> szenarios) {
+        if (reported.isEmpty()) {
+            return Map.of();
+        }
+        return ReportedMetrics.sum(szenarios.stream()
+                                            .flatMap(sz -> Stream.concat(Stream.of(sz),
+                                                                         getTestPlan().getDescendants(sz).stream()))
+                                            .map(reported::get)
+                                            .filter(Objects::nonNull)
+                                            .collect(toList()));
+    }
+
+    /**
+     * Replaces unlinked ticket keys in the text with links to the ticket and reports every found key.
+     */
+    private String linkTickets(String text, Consumer<String> onKey) {
+        return UNLINKED_JIRA_KEY.matcher(text).replaceAll(res -> {
+            onKey.accept(res.group(1));
+            return Matcher.quoteReplacement("[" + res.group(1) + "](" + jiraUrl + res.group(1) + ")");
+        });
+    }
+
     /**
      * Coalgebra to build a Tree, where the leafs are the first test container encountered in the test plan,
      * which are tagged as features or contains tests tagged as scenarios.
@@ -105,6 +161,13 @@ public class Algebras {
                                        subfeatures);
     };
 
+    /**
+     * Hashes in a sub feature report are doubled when embedding it into the parent, so they are rendered as entity.
+     */
+    private static String escapeHashes(String text) {
+        return text.replace("#", "&num;");
+    }
+
     private <A> Optional<Collection<A>> noneIfEmpty(Collection<A> collection) {
         return collection.isEmpty() ? Optional.empty() : Optional.of(collection);
     }
@@ -119,32 +182,50 @@ public class Algebras {
         Function<String, String> escape = t -> t.replaceAll("\n", "\\\\n")
                                                 .replaceAll("\t", "\\\\t");
 
-        var sources = descr.tids.stream().map(tid -> {
-            var uid = tid.getUniqueId();
-            var source = uid.substring(uid.lastIndexOf("/") + 1);
-            source = source.substring(1, source.length() - 1);
-            if (source.startsWith("class:")) {
-                var clazz = source.substring(source.indexOf(":") + 1);
-                var clazzName = clazz.substring(clazz.lastIndexOf('.') + 1);
-                var clazzSrc = clazz.substring(0, clazz.length() - 1).replaceAll("\\.", "/");
-                source = "[" + clazzName + "](../java/" + clazzSrc + ".java)";
-            }
-            return source;
-        }).collect(joining(", "));
-
-        var header = "# " + descr.getDisplayName() + "\n<small><small>" + sources + "</small></small>";
-
-        var szenarioTexts = descr.szenarios.stream().map(FeaturesGeneratorListener::toDisplayName).map(escape).sorted()
+        var sources = descr.tids.stream().map(tid -> getSourceLocator().toSourceLink(tid)).collect(joining(", "));
+
+        var featureName = descr.getDisplayName();
+        var title = linkTickets(featureName, key -> descr.tids.forEach(
+                tid -> tickets.add(key, Reference.of(TicketIndex.FEATURE, featureName, tid))));
+        var header = "# " + title + "\n<small><small>" + sources + "</small></small>";
+
+        var metrics = sumMetrics(descr.szenarios);
+
+        var szenarioTexts = descr.szenarios.stream()
+                                           .map(sz -> new Tuple2<>(escape.apply(toDisplayName(sz)), sz))
+                                           .sorted(Comparator.comparing(t -> t._1))
+                                           .map(t -> linkTickets(t._1, key -> tickets.add(
+                                                   key, Reference.of(TicketIndex.SCENARIO, featureName, t._2))))
                                            .collect(toList());
-        var report = Stream.of(Optional.of(header),
-                               noneIfEmpty(szenarioTexts).map(s -> s.stream().collect(joining("\n- ", "- ", ""))),
-                               noneIfEmpty(subFeatureReports).map(s -> s.stream().collect(joining("\n\n")))
+        // sub feature reports are already linked
+        return Stream.of(Optional.of(header),
+                         noneIfEmpty(metrics.entrySet()).map(m -> m.stream()
+                                                                  .map(e -> escapeHashes(e.getKey()) + ": " +
+                                                                            e.getValue())
+                                                                  .collect(joining(", ", "<small>", "</small>"))),
+                         noneIfEmpty(szenarioTexts).map(s -> s.stream().collect(joining("\n- ", "- ", ""))),
+                         noneIfEmpty(subFeatureReports).map(s -> s.stream().collect(joining("\n\n")))
         ).flatMap(Optional::stream).collect(joining("\n\n"));
+    };
 
-        return UNLINKED_JIRA_KEY.matcher(report)
-                                .replaceAll(res -> "[" + res.group(1) + "](" +
-                                                   VAM_JIRA_URL +
-                                                   res.group(1) + ")");
+    /**
+     * Algebra which collects the scenarios of a feature and all of its sub features
+     */
+    public DescAlgebra<Collection<TestIdentifier>> collectSzenarios = descr -> Stream.concat(
+            descr.szenarios.stream(),
+            descr.subFeatures.stream().flatMap(Collection::stream)
+    ).collect(toList());
+
+    /**
+     * Algebra which collects the summed up reported metrics of a feature and all of its sub features, features without
+     * metrics are left out
+     */
+    public DescAlgebra<List<Tuple2<String, Map<String, Long>>>> collectMetrics = descr -> {
+        var metrics = sumMetrics(descr.szenarios);
+        return Stream.concat(
+                metrics.isEmpty() ? Stream.empty() : Stream.of(new Tuple2<>(descr.getDisplayName(), metrics)),
+                descr.subFeatures.stream().flatMap(Collection::stream)
+        ).collect(toList());
     };
 
     /**
@@ -0,0 +1,109 @@
+package dev.nullzwo.junit.summarizer;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.UNLINKED_JIRA_KEY;
+import static dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.toDisplayName;
+import static dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.toFileName;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Prunes the discovered tests to the ones belonging to selected features. The features are identified the same way
+ * the reports are created, so untagged containers with scenario children are features as well.
+ * <p>
+ * The selection is read from the system property {@value #SELECTED_FEATURES} as a comma separated list of feature
+ * names, report file names (without {@code .md}) or ticket keys mentioned in the feature name. Selecting a feature
+ * includes all of its scenarios and sub features. Without a selection all tests are kept.
+ */
+public class FeatureFilter implements PostDiscoveryFilter {
+    public static final String SELECTED_FEATURES = "junit.feature-summarizer.features";
+
+    private final Set<String> selection;
+    private final Map<UniqueId, Set<String>> includedByRoot = new HashMap<>();
+
+    public FeatureFilter() {
+        this(parseSelection(System.getProperty(SELECTED_FEATURES, "")));
+    }
+
+    FeatureFilter(Set<String> selection) {
+        this.selection = selection;
+    }
+
+    static Set<String> parseSelection(String selection) {
+        return Stream.of(selection.split(",")).map(String::trim).filter(s -> !s.isEmpty()).collect(toSet());
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (selection.isEmpty()) {
+            return FilterResult.included("no features selected");
+        }
+
+        var root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        if (root == descriptor) {
+            // the root is visited first, a new discovery of the same engine must not reuse the old selection
+            includedByRoot.remove(root.getUniqueId());
+        }
+        var engine = root;
+        var included = includedByRoot.computeIfAbsent(engine.getUniqueId(), uid -> findIncluded(engine));
+
+        return FilterResult.includedIf(included.contains(descriptor.getUniqueId().toString()),
+                                       () -> "part of selected feature",
+                                       () -> "not part of selected feature");
+    }
+
+    /**
+     * @return unique ids of the selected features, their descendants and ancestors
+     */
+    private Set<String> findIncluded(TestDescriptor root) {
+        var testPlan = TestPlan.from(List.of(root), FeaturesGeneratorListener.NO_CONFIGURATION);
+        var algs = new Algebras(testPlan, Set.of());
+
+        var included = new HashSet<String>();
+        for (TestIdentifier tid : testPlan.getRoots()) {
+            selectFeatures(algs, algs.findFeatures.apply(tid), included);
+        }
+        return included;
+    }
+
+    private void selectFeatures(Algebras algs, Collection<TestIdentifier> features, Set<String> included) {
+        for (TestIdentifier feature : features) {
+            if (isSelected(feature)) {
+                var testPlan = algs.getTestPlan();
+                included.add(feature.getUniqueId());
+                testPlan.getDescendants(feature).forEach(d -> included.add(d.getUniqueId()));
+                var parent = testPlan.getParent(feature);
+                while (parent.isPresent()) {
+                    included.add(parent.get().getUniqueId());
+                    parent = testPlan.getParent(parent.get());
+                }
+            } else {
+                selectFeatures(algs, algs.createDescription.apply(feature).getSubFeatures(), included);
+            }
+        }
+    }
+
+    private boolean isSelected(TestIdentifier feature) {
+        var name = toDisplayName(feature);
+        if (selection.contains(name) || selection.contains(toFileName(name))) {
+            return true;
+        }
+        return UNLINKED_JIRA_KEY.matcher(name).results().anyMatch(key -> selection.contains(key.group(1)));
+    }
+}
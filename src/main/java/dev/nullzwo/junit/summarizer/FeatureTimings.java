@@ -0,0 +1,71 @@
+package dev.nullzwo.junit.summarizer;
+
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Durations in milliseconds recorded by the {@link FeaturesGeneratorListener}.
+ * <p>
+ * Test classes are keyed by their class name and hold the duration of the whole feature they belong to, so all
+ * classes of one feature share the same value. Test methods are keyed by {@code className#methodName(parameterTypes)}.
+ * <p>
+ * The file holds one tab separated line per key: {@code key, millis}. Malformed lines are skipped when reading.
+ */
+public class FeatureTimings {
+    private final Map<String, Long> durations = new TreeMap<>();
+
+    /**
+     * @return the timings of the file, empty if the file does not exist
+     */
+    public static FeatureTimings read(Path file) throws IOException {
+        var timings = new FeatureTimings();
+        if (Files.exists(file)) {
+            Files.readAllLines(file, UTF_8).forEach(line -> {
+                var sep = line.lastIndexOf('\t');
+                if (sep > 0) {
+                    try {
+                        timings.put(line.substring(0, sep), Long.parseLong(line.substring(sep + 1).trim()));
+                    } catch (NumberFormatException ignored) {
+                        // e.g. a merge conflict marker, the duration is recorded again by the next run
+                    }
+                }
+            });
+        }
+        return timings;
+    }
+
+    public void write(Path file) throws IOException {
+        var parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(file, durations.entrySet().stream()
+                                         .map(e -> e.getKey() + "\t" + e.getValue() + "\n")
+                                         .collect(joining()), UTF_8);
+    }
+
+    public void put(String key, long millis) {
+        durations.put(key, millis);
+    }
+
+    public void putAll(FeatureTimings other) {
+        durations.putAll(other.durations);
+    }
+
+    public Optional<Long> get(String key) {
+        return Optional.ofNullable(durations.get(key));
+    }
+
+    static String methodKey(MethodSource source) {
+        return source.getClassName() + "#" + source.getMethodName() + "(" + source.getMethodParameterTypes() + ")";
+    }
+}
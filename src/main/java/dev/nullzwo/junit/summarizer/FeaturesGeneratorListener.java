@@ -1,6 +1,10 @@
 package dev.nullzwo.junit.summarizer;
 
+import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
 import org.junit.platform.launcher.TestExecutionListener;
 import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.TestPlan;
@@ -10,15 +14,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -34,52 +39,242 @@ public class FeaturesGeneratorListener implements TestExecutionListener {
     public static final String REPORT_FOLDER = "src/test/features/";
     public static final Pattern UNLINKED_JIRA_KEY = Pattern.compile("([A-Z]{3,}-\\d{3,})(?!\\])");
     public static final String VAM_JIRA_URL = "http://jira/browse/";
+    /**
+     * Configuration parameter for the base url ticket keys are linked to, defaults to {@link #VAM_JIRA_URL}.
+     */
+    public static final String JIRA_URL = "junit.feature-summarizer.jira-url";
+    /**
+     * Configuration parameter with a comma separated list of test source roots the reports link to, defaults to
+     * {@value SourceLocator#DEFAULT_SOURCE_ROOT}.
+     */
+    public static final String SOURCE_ROOTS = "junit.feature-summarizer.source-roots";
+    public static final String REPORT_ARCHIVE = "src/test/features.zip";
+    /**
+     * Configuration parameter which selects how reports are written. Either {@value #FILES_OUTPUT} (default), one
+     * markdown file per feature in {@link #REPORT_FOLDER}, or {@value #ARCHIVE_OUTPUT}, all reports in
+     * {@link #REPORT_ARCHIVE}.
+     */
+    public static final String OUTPUT_MODE = "junit.feature-summarizer.output";
+    public static final String FILES_OUTPUT = "files";
+    public static final String ARCHIVE_OUTPUT = "archive";
+    /**
+     * Configuration parameter for the file the durations of features and scenarios are merged into after each run, e.g.
+     * {@code src/test/feature-timings.tsv}. Durations are only recorded if the parameter is set. Used by
+     * {@link LongestFeatureFirst}.
+     */
+    public static final String TIMINGS_FILE = "junit.feature-summarizer.timings.file";
+
+    /**
+     * Configuration parameter for the localhost port of the {@link ProgressServer}. The server is only started if the
+     * parameter is set. With 0 any free port is used, which is only available through {@link ProgressServer#getPort()}.
+     */
+    public static final String PROGRESS_PORT = "junit.feature-summarizer.progress.port";
+
+    /**
+     * Empty configuration for test plans created outside of the launcher.
+     */
+    static final ConfigurationParameters NO_CONFIGURATION = new ConfigurationParameters() {
+        @Override
+        public Optional<String> get(String key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Boolean> getBoolean(String key) {
+            return Optional.empty();
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Set.of();
+        }
+    };
+
+    Set<TestIdentifier> aborted = ConcurrentHashMap.newKeySet();
+    Map<TestIdentifier, Long> startTimes = new ConcurrentHashMap<>();
+    Map<TestIdentifier, Long> durations = new ConcurrentHashMap<>();
+    Map<TestIdentifier, ReportedMetrics> reported = new ConcurrentHashMap<>();
+    volatile ProgressServer progress;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        var port = testPlan.getConfigurationParameters().get(PROGRESS_PORT).map(FeaturesGeneratorListener::parsePort);
+        if (port.isPresent()) {
+            try {
+                progress = ProgressServer.start(port.get(), new Algebras(testPlan, aborted));
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    static String parseOutputMode(String value) {
+        var mode = value.trim().toLowerCase();
+        if (mode.equals(FILES_OUTPUT) || mode.equals(ARCHIVE_OUTPUT)) {
+            return mode;
+        }
+        throw new IllegalArgumentException(
+                "Invalid value for " + OUTPUT_MODE + ": '" + value + "', expected '" + FILES_OUTPUT + "' or '" +
+                ARCHIVE_OUTPUT + "'");
+    }
+
+    static int parsePort(String value) {
+        try {
+            var port = Integer.parseInt(value.trim());
+            if (0 <= port && port <= 0xFFFF) {
+                return port;
+            }
+        } catch (NumberFormatException ex) {
+            // reported below
+        }
+        throw new IllegalArgumentException(
+                "Invalid value for " + PROGRESS_PORT + ": '" + value + "', expected a port between 0 and 65535");
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        startTimes.put(testIdentifier, System.nanoTime());
+        var progress = this.progress;
+        if (progress != null) {
+            progress.executionStarted(testIdentifier);
+        }
+    }
 
-    Set<TestIdentifier> aborted = new HashSet<>();
+    @Override
+    public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+        var metrics = reported.computeIfAbsent(testIdentifier, tid -> new ReportedMetrics());
+        entry.getKeyValuePairs().forEach(metrics::add);
+    }
 
     @Override
     public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        var start = startTimes.remove(testIdentifier);
+        if (start != null) {
+            durations.put(testIdentifier, (System.nanoTime() - start) / 1_000_000);
+        }
         if (testExecutionResult.getStatus() == ABORTED) {
             aborted.add(testIdentifier);
         }
+        var progress = this.progress;
+        if (progress != null) {
+            progress.executionFinished(testIdentifier, testExecutionResult);
+        }
     }
 
     @Override
     public void testPlanExecutionFinished(TestPlan testPlan) {
-        var reports = createReports(testPlan);
+        if (progress != null) {
+            progress.close();
+            progress = null;
+        }
 
-        // different display text may result in the same file name
-        var filesAndContent = reports.stream()
-                                     .collect(groupingBy(
-                                             t -> t._1.toLowerCase().replaceAll("[^a-z0-9]+", "-"),
-                                             Collectors.mapping(l -> l._2, toList())
-                                     ));
+        var config = testPlan.getConfigurationParameters();
+        var algs = new Algebras(testPlan, aborted,
+                                config.get(JIRA_URL).orElse(VAM_JIRA_URL),
+                                reported,
+                                SourceLocator.forSourceRoots(config.get(SOURCE_ROOTS)
+                                                                   .orElse(SourceLocator.DEFAULT_SOURCE_ROOT)));
+        var files = new ArrayList<>(toReportFiles(createReports(algs)));
+        files.add(new Tuple2<>(TicketIndex.FILE_NAME, algs.getTickets().serialize()));
+        files.add(new Tuple2<>(ReportedMetrics.FILE_NAME, ReportedMetrics.serialize(createMetrics(algs))));
+        var archive = config.get(OUTPUT_MODE).map(FeaturesGeneratorListener::parseOutputMode)
+                            .map(ARCHIVE_OUTPUT::equals)
+                            .orElse(false);
+
+        try {
+            if (archive) {
+                ReportArchive.write(Paths.get(REPORT_ARCHIVE), files);
+            } else {
+                var folder = Paths.get(REPORT_FOLDER);
+                Files.createDirectories(folder);
+                for (Tuple2<String, String> report : files) {
+                    Files.writeString(folder.resolve(report._1), report._2, UTF_8);
+                }
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
 
-        for (Entry<String, List<String>> fc : filesAndContent.entrySet()) {
+        var timingsFile = config.get(TIMINGS_FILE);
+        if (timingsFile.isPresent()) {
             try {
-                var files = zipWithIndex(fc.getValue().stream()).map(entry ->
-                                                                             new Tuple2(
-                                                                                     Paths.get(REPORT_FOLDER +
-                                                                                               fc.getKey() +
-                                                                                               (entry.getKey() > 0 ?
-                                                                                                       "_" +
-                                                                                                       (entry.getKey() +
-                                                                                                        1) : "") +
-                                                                                               ".md"),
-                                                                                     entry.getValue()
-                                                                             )
-                ).collect(toList());
-
-                for (Tuple2<Path, String> report : files) {
-                    Files.createDirectories(report._1.getParent());
-                    Files.writeString(report._1, report._2, UTF_8);
-                }
+                writeTimings(algs, Paths.get(timingsFile.get()));
             } catch (IOException ex) {
                 throw new RuntimeException(ex);
             }
         }
     }
 
+    /**
+     * Merges the durations of this run into the timings file.
+     */
+    void writeTimings(Algebras algs, Path file) throws IOException {
+        var timings = FeatureTimings.read(file);
+        timings.putAll(recordTimings(algs));
+        timings.write(file);
+    }
+
+    /**
+     * Collects the durations of this run. The test classes of a top level feature get the summed up duration of all
+     * containers of the feature, features of the same name are counted as one like in the reports.
+     */
+    FeatureTimings recordTimings(Algebras algs) {
+        var testPlan = algs.getTestPlan();
+        var timings = new FeatureTimings();
+
+        durations.forEach((tid, duration) -> {
+            // invocations of parameterized and repeated tests share the source of their template
+            var parentSource = testPlan.getParent(tid).flatMap(TestIdentifier::getSource);
+            tid.getSource().filter(source -> !parentSource.equals(Optional.of(source)))
+               .flatMap(source -> source instanceof MethodSource ?
+                                  Optional.of(FeatureTimings.methodKey((MethodSource) source)) :
+                                  SourceLocator.className(source))
+               .ifPresent(key -> timings.put(key, duration));
+        });
+
+        var features = testPlan.getRoots().stream().flatMap(id -> algs.findFeatures.apply(id).stream())
+                               .collect(groupingBy(FeaturesGeneratorListener::toDisplayName));
+        for (List<TestIdentifier> feature : features.values()) {
+            var duration = feature.stream().mapToLong(tid -> durations.getOrDefault(tid, 0L)).sum();
+            feature.stream().flatMap(tid -> tid.getSource().stream())
+                   .filter(ClassSource.class::isInstance)
+                   .forEach(source -> timings.put(((ClassSource) source).getClassName(), duration));
+        }
+        return timings;
+    }
+
+    /**
+     * Assigns a file name to each report. Different display text may result in the same file name, in which case
+     * the later reports get a numbered suffix.
+     */
+    static List<Tuple2<String, String>> toReportFiles(Collection<Tuple2<String, String>> reports) {
+        var filesAndContent = reports.stream()
+                                     .collect(groupingBy(
+                                             t -> toFileName(t._1),
+                                             Collectors.mapping(l -> l._2, toList())
+                                     ));
+
+        return filesAndContent.entrySet().stream().flatMap(fc ->
+                zipWithIndex(fc.getValue().stream()).map(entry -> new Tuple2<>(
+                        fc.getKey() + (entry.getKey() > 0 ? "_" + (entry.getKey() + 1) : "") + ".md",
+                        entry.getValue()
+                ))
+        ).collect(toList());
+    }
+
+    /**
+     * @return the report file name, without extension, for a feature name
+     */
+    static String toFileName(String featureName) {
+        return featureName.toLowerCase().replaceAll("[^a-z0-9]+", "-");
+    }
+
     /**
      * Converts an {@link java.util.Iterator} to {@link java.util.stream.Stream}.
      */
@@ -118,9 +313,27 @@ public class FeaturesGeneratorListener implements TestExecutionListener {
         }
     }
 
-    Collection<Tuple2<String, String>> createReports(TestPlan testPlan) {
-        var algs = new Algebras(testPlan, aborted);
+    Collection<Tuple2<String, String>> createReports(Algebras algs) {
+        return processDescriptions(algs).stream().map(
+                                fix -> new Tuple2<>(fix.unfix.getDisplayName(), FixDescription.fold(algs.showDescription).apply(fix)))
+                        .collect(toList());
+    }
+
+    /**
+     * @return the summed up reported metrics of every feature and sub feature of the reports
+     */
+    List<Tuple2<String, Map<String, Long>>> createMetrics(Algebras algs) {
+        var collectMetrics = FixDescription.fold(algs.collectMetrics);
+        return processDescriptions(algs).stream().flatMap(fix -> collectMetrics.apply(fix).stream())
+                                        .collect(toList());
+    }
 
+    /**
+     * Builds the descriptions of all top level features, without aborted scenarios and with features of the same name
+     * merged into one.
+     */
+    private Collection<FixDescription> processDescriptions(Algebras algs) {
+        var testPlan = algs.getTestPlan();
         var features = testPlan.getRoots().stream().flatMap(id -> algs.findFeatures.apply(id).stream())
                                .collect(toList());
         var descriptions = features.stream().map(FixDescription.unfold(algs.createDescription)).collect(toList());
@@ -128,11 +341,7 @@ public class FeaturesGeneratorListener implements TestExecutionListener {
         var fakeRootDescription = new FixDescription(new FeatureDescriptor<>(null, List.of(), descriptions));
         var filterThenMerge = FixDescription.unfold(algs.filterAbortedCoalg)
                                             .andThen(FixDescription.unfold(algs.mergeCoalg));
-        var processed = filterThenMerge.apply(fakeRootDescription).unfix.subFeatures;
-
-        return processed.stream().map(
-                                fix -> new Tuple2<>(fix.unfix.getDisplayName(), FixDescription.fold(algs.showDescription).apply(fix)))
-                        .collect(toList());
+        return filterThenMerge.apply(fakeRootDescription).unfix.subFeatures;
     }
 
     static String toDisplayName(TestIdentifier tid) {
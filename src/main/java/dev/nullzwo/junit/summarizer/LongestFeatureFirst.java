@@ -0,0 +1,61 @@
+package dev.nullzwo.junit.summarizer;
+
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Optional;
+
+import static dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.TIMINGS_FILE;
+
+/**
+ * Orders test classes and methods by the durations recorded during earlier runs, the longest first. Classes of the same
+ * feature share the recorded duration of the whole feature and therefore run next to each other. Unknown classes and
+ * methods run last, in their default order.
+ * <p>
+ * Starting the longest work first shortens the total time of parallel runs, because no long feature is left to run
+ * alone at the end. Opt in via {@code junit.jupiter.testclass.order.default} and
+ * {@code junit.jupiter.testmethod.order.default}, or {@link org.junit.jupiter.api.TestClassOrder} and
+ * {@link org.junit.jupiter.api.TestMethodOrder}. The durations are read from the file configured by
+ * {@link FeaturesGeneratorListener#TIMINGS_FILE}, without it the default order is kept.
+ */
+public class LongestFeatureFirst implements ClassOrderer, MethodOrderer {
+    private FeatureTimings timings;
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        context.getClassDescriptors().sort(Comparator.comparing(d -> d.getTestClass().getName(),
+                                                                longestFirst(timings(context.getConfigurationParameter(TIMINGS_FILE)))));
+    }
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        var testClass = context.getTestClass();
+        context.getMethodDescriptors().sort(Comparator.comparing(
+                d -> FeatureTimings.methodKey(MethodSource.from(testClass, d.getMethod())),
+                longestFirst(timings(context.getConfigurationParameter(TIMINGS_FILE)))));
+    }
+
+    /**
+     * Compares timing keys by their recorded duration, the longest first and unknown keys last.
+     */
+    static Comparator<String> longestFirst(FeatureTimings timings) {
+        return Comparator.comparingLong((String key) -> timings.get(key).orElse(-1L)).reversed();
+    }
+
+    private synchronized FeatureTimings timings(Optional<String> file) {
+        if (timings == null) {
+            try {
+                timings = file.isPresent() ? FeatureTimings.read(Paths.get(file.get())) : new FeatureTimings();
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+        return timings;
+    }
+}
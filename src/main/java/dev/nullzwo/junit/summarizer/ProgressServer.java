@@ -0,0 +1,250 @@
+package dev.nullzwo.junit.summarizer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.FixDescription;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestIdentifier;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Local http server publishing the progress of all features while the tests are running.
+ * <ul>
+ *     <li>{@code /} returns the current progress of all features as json array</li>
+ *     <li>{@code /events} streams the progress as server sent events</li>
+ * </ul>
+ * Execution events only update counters. Changed features are published in batches every
+ * {@value #PUBLISH_INTERVAL_MS}ms, so each batch contains only the latest state of a feature.
+ * <p>
+ * Each client is written to by its own handler thread. Clients which fall more than {@value #MAX_PENDING_EVENTS}
+ * batches behind are dropped, so a client which does not read can not hold up the others.
+ */
+public class ProgressServer implements AutoCloseable {
+    public static final long PUBLISH_INTERVAL_MS = 500;
+    public static final int MAX_PENDING_EVENTS = 64;
+    private static final String END_OF_STREAM = "";
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService publisher;
+    private final Map<String, FeatureProgress> scenarioFeatures;
+    private final Collection<FeatureProgress> features;
+    private final List<BlockingQueue<String>> clients = new CopyOnWriteArrayList<>();
+
+    /**
+     * Progress counters of a single feature.
+     */
+    static class FeatureProgress {
+        final String name;
+        final int total;
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger done = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger aborted = new AtomicInteger();
+        final AtomicBoolean changed = new AtomicBoolean(true);
+
+        FeatureProgress(String name, int total) {
+            this.name = name;
+            this.total = total;
+        }
+
+        String toJson() {
+            return "{\"feature\":\"" + escape(name) + "\",\"total\":" + total + ",\"running\":" + running.get() +
+                   ",\"done\":" + done.get() + ",\"failed\":" + failed.get() + ",\"aborted\":" + aborted.get() +
+                   "}";
+        }
+    }
+
+    /**
+     * Starts the server for all features of the test plan. Features of the same name are counted as one, like in the
+     * reports.
+     *
+     * @param port to listen on localhost, 0 for any free port
+     */
+    static ProgressServer start(int port, Algebras algs) throws IOException {
+        return start(port, algs, PUBLISH_INTERVAL_MS);
+    }
+
+    static ProgressServer start(int port, Algebras algs, long publishIntervalMs) throws IOException {
+        var testPlan = algs.getTestPlan();
+        var features = testPlan.getRoots().stream().flatMap(id -> algs.findFeatures.apply(id).stream())
+                               .collect(groupingBy(FeaturesGeneratorListener::toDisplayName));
+        var collectSzenarios = FixDescription.unfold(algs.createDescription)
+                                             .andThen(FixDescription.fold(algs.collectSzenarios));
+
+        var scenarioFeatures = new HashMap<String, FeatureProgress>();
+        features.forEach((name, tids) -> {
+            var szenarios = tids.stream().flatMap(tid -> collectSzenarios.apply(tid).stream())
+                                .map(TestIdentifier::getUniqueId)
+                                .collect(toSet());
+            var progress = new FeatureProgress(name, szenarios.size());
+            szenarios.forEach(uid -> scenarioFeatures.put(uid, progress));
+        });
+        return new ProgressServer(port, scenarioFeatures, publishIntervalMs);
+    }
+
+    /**
+     * @param port             to listen on localhost, 0 for any free port
+     * @param scenarioFeatures progress of the feature each scenario, by unique id, belongs to
+     */
+    ProgressServer(int port, Map<String, FeatureProgress> scenarioFeatures) throws IOException {
+        this(port, scenarioFeatures, PUBLISH_INTERVAL_MS);
+    }
+
+    ProgressServer(int port, Map<String, FeatureProgress> scenarioFeatures, long publishIntervalMs)
+            throws IOException {
+        this.scenarioFeatures = scenarioFeatures;
+        this.features = scenarioFeatures.values().stream().distinct().collect(toList());
+
+        handlers = Executors.newCachedThreadPool(r -> {
+            var thread = new Thread(r, "feature-progress-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/", this::sendSnapshot);
+        server.createContext("/events", this::subscribe);
+        server.setExecutor(handlers);
+        server.start();
+
+        publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "feature-progress-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher.scheduleAtFixedRate(this::publish, publishIntervalMs, publishIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    void executionStarted(TestIdentifier tid) {
+        var feature = scenarioFeatures.get(tid.getUniqueId());
+        if (feature != null) {
+            feature.running.incrementAndGet();
+            feature.changed.set(true);
+        }
+    }
+
+    void executionFinished(TestIdentifier tid, TestExecutionResult result) {
+        var feature = scenarioFeatures.get(tid.getUniqueId());
+        if (feature != null) {
+            feature.running.decrementAndGet();
+            switch (result.getStatus()) {
+                case SUCCESSFUL:
+                    feature.done.incrementAndGet();
+                    break;
+                case ABORTED:
+                    feature.aborted.incrementAndGet();
+                    break;
+                default:
+                    feature.failed.incrementAndGet();
+            }
+            feature.changed.set(true);
+        }
+    }
+
+    private void sendSnapshot(HttpExchange exchange) throws IOException {
+        var body = features.stream().map(FeatureProgress::toJson).collect(joining(",", "[", "]")).getBytes(UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void subscribe(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        var events = new ArrayBlockingQueue<String>(MAX_PENDING_EVENTS);
+        synchronized (this) {
+            // a new client first gets the state of all features
+            events.offer(toEvent(features));
+            clients.add(events);
+        }
+        try (var out = exchange.getResponseBody()) {
+            for (var event = events.take(); !END_OF_STREAM.equals(event); event = events.take()) {
+                out.write(event.getBytes(UTF_8));
+                out.flush();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // client is gone or the server is closed
+            clients.remove(events);
+        }
+    }
+
+    synchronized void publish() {
+        var changed = features.stream().filter(f -> f.changed.getAndSet(false)).collect(toList());
+        if (!changed.isEmpty()) {
+            var event = toEvent(changed);
+            clients.forEach(events -> enqueue(events, event));
+        }
+    }
+
+    private void enqueue(BlockingQueue<String> events, String event) {
+        if (!events.offer(event)) {
+            // the client does not keep up, end its stream instead of buffering
+            clients.remove(events);
+            events.clear();
+            events.offer(END_OF_STREAM);
+        }
+    }
+
+    private static String toEvent(Collection<FeatureProgress> batch) {
+        return batch.stream().map(FeatureProgress::toJson).collect(joining(",", "data: [", "]\n\n"));
+    }
+
+    /**
+     * Publishes the final state and stops the server. Clients get up to a second to receive the final state.
+     */
+    @Override
+    public void close() {
+        publisher.shutdownNow();
+        synchronized (this) {
+            publish();
+            clients.forEach(events -> enqueue(events, END_OF_STREAM));
+        }
+        server.stop(1);
+        handlers.shutdownNow();
+    }
+
+    static String escape(String text) {
+        var b = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                b.append('\\').append(c);
+            } else if (c < ' ') {
+                b.append(String.format("\\u%04x", (int) c));
+            } else {
+                b.append(c);
+            }
+        }
+        return b.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package dev.nullzwo.junit.summarizer;
+
+import dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.Tuple2;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A single zip archive containing all feature reports of a test run together with an index.
+ * Writing goes through one buffered stream, reading extracts single reports only when they are requested.
+ */
+public class ReportArchive implements Closeable {
+    /**
+     * Report file names only contain lower case letters, digits, {@code -} and a {@code _n} suffix, so they never
+     * collide with the index.
+     */
+    public static final String INDEX_ENTRY = "_index.md";
+
+    private final ZipFile zip;
+
+    private ReportArchive(ZipFile zip) {
+        this.zip = zip;
+    }
+
+    /**
+     * Writes the reports, given as tuples of file name and content, into a new archive.
+     */
+    public static void write(Path archive, Collection<Tuple2<String, String>> reports) throws IOException {
+        var sorted = reports.stream().sorted(Comparator.comparing(r -> r._1)).collect(toList());
+
+        var parent = archive.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (var out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(archive)))) {
+            for (Tuple2<String, String> report : sorted) {
+                out.putNextEntry(new ZipEntry(report._1));
+                out.write(report._2.getBytes(UTF_8));
+                out.closeEntry();
+            }
+            out.putNextEntry(new ZipEntry(INDEX_ENTRY));
+            out.write(index(sorted).getBytes(UTF_8));
+            out.closeEntry();
+        }
+    }
+
+    static String index(List<Tuple2<String, String>> reports) {
+        return reports.stream()
+                      .filter(r -> r._1.endsWith(".md"))
+                      .map(r -> "- [" + title(r._2) + "](" + r._1 + ")")
+                      .collect(joining("\n", "# Features\n\n", "\n"));
+    }
+
+    private static String title(String report) {
+        var end = report.indexOf('\n');
+        var firstLine = end < 0 ? report : report.substring(0, end);
+        return firstLine.startsWith("# ") ? firstLine.substring(2) : firstLine;
+    }
+
+    public static ReportArchive open(Path archive) throws IOException {
+        return new ReportArchive(new ZipFile(archive.toFile(), UTF_8));
+    }
+
+    /**
+     * @return the file names of all feature reports in the archive
+     */
+    public List<String> getFeatures() {
+        return zip.stream()
+                  .map(ZipEntry::getName)
+                  .filter(name -> name.endsWith(".md") && !name.equals(INDEX_ENTRY))
+                  .collect(toList());
+    }
+
+    public Optional<String> getIndex() throws IOException {
+        return read(INDEX_ENTRY);
+    }
+
+    public Optional<TicketIndex> getTickets() throws IOException {
+        return read(TicketIndex.FILE_NAME).map(TicketIndex::parse);
+    }
+
+    /**
+     * Extracts a single report from the archive.
+     *
+     * @param fileName as listed by {@link #getFeatures()}
+     */
+    public Optional<String> read(String fileName) throws IOException {
+        var entry = zip.getEntry(fileName);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        try (var in = zip.getInputStream(entry)) {
+            return Optional.of(new String(in.readAllBytes(), UTF_8));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+}
@@ -0,0 +1,116 @@
+package dev.nullzwo.junit.summarizer;
+
+import dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.Tuple2;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Numbers published by a single scenario through {@link org.junit.platform.engine.reporting.ReportEntry report entries},
+ * e.g. {@code tries} and {@code checks} of jqwik properties or custom counters.
+ * <p>
+ * Only the sums per key are kept. Values which do not start with a number (like jqwik statistics) and keys in
+ * {@link #IGNORED_KEYS} are skipped. At most {@value #MAX_KEYS} different keys are kept per scenario, so chatty tests
+ * can not grow the memory.
+ */
+public class ReportedMetrics {
+    public static final String FILE_NAME = "metrics.tsv";
+    public static final int MAX_KEYS = 32;
+    public static final Set<String> IGNORED_KEYS = Set.of("seed");
+
+    private final Map<String, LongAdder> sums = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a published key value pair. Multi line values, like the report jqwik publishes for every property under the
+     * property's name, are read line by line as {@code key = number | comment}.
+     */
+    void add(String key, String value) {
+        if (value.indexOf('\n') < 0) {
+            addNumber(key, value);
+            return;
+        }
+        value.lines().forEach(line -> {
+            var separator = line.indexOf('=');
+            if (separator > 0) {
+                addNumber(line.substring(0, separator).trim(), line.substring(separator + 1));
+            }
+        });
+    }
+
+    private void addNumber(String key, String value) {
+        if (IGNORED_KEYS.contains(key)) {
+            return;
+        }
+        var number = parseLeadingNumber(value);
+        if (number == null) {
+            return;
+        }
+        var sum = sums.get(key);
+        if (sum == null) {
+            if (sums.size() >= MAX_KEYS) {
+                return;
+            }
+            sum = sums.computeIfAbsent(key, k -> new LongAdder());
+        }
+        sum.add(number);
+    }
+
+    /**
+     * Parses values like {@code "1000"} or {@code "1000   | # of calls to property"}.
+     *
+     * @return null if the value does not start with a number
+     */
+    static Long parseLeadingNumber(String value) {
+        var i = 0;
+        while (i < value.length() && value.charAt(i) == ' ') {
+            i++;
+        }
+        var negative = i < value.length() && value.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        var start = i;
+        long number = 0;
+        while (i < value.length() && i - start < 18 && Character.isDigit(value.charAt(i))) {
+            number = number * 10 + (value.charAt(i) - '0');
+            i++;
+        }
+        if (i == start || (i < value.length() && !isSeparator(value.charAt(i)))) {
+            return null;
+        }
+        return negative ? -number : number;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '|' || c == '\t' || c == '\n';
+    }
+
+    /**
+     * @return the sums per key over all given scenarios, sorted by key
+     */
+    static Map<String, Long> sum(Collection<ReportedMetrics> metrics) {
+        var total = new TreeMap<String, Long>();
+        metrics.forEach(m -> m.sums.forEach((key, sum) -> total.merge(key, sum.sum(), Long::sum)));
+        return total;
+    }
+
+    /**
+     * Serializes the metrics of features as one tab separated line per metric: {@code feature, key, sum}.
+     */
+    static String serialize(List<Tuple2<String, Map<String, Long>>> featureMetrics) {
+        return featureMetrics.stream()
+                             .sorted(Comparator.comparing(f -> f._1))
+                             .flatMap(f -> f._2.entrySet().stream().map(
+                                     e -> f._1.replaceAll("[\t\n]", " ") + "\t" + e.getKey() + "\t" + e.getValue() +
+                                          "\n"))
+                             .collect(joining());
+    }
+}
@@ -0,0 +1,131 @@
+package dev.nullzwo.junit.summarizer;
+
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestIdentifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Creates the source links shown in the reports.
+ * <p>
+ * The test class is taken from the {@link TestSource} of a test identifier, nested classes link to the file of their
+ * top level class. Files are looked up in an index of all java files below the source roots, which is built once on
+ * first use, so multi module layouts are supported. Classes missing in the index are linked to the default maven
+ * layout. The links are relative to the report folder.
+ */
+public class SourceLocator {
+    public static final String DEFAULT_SOURCE_ROOT = "src/test/java";
+
+    private final Path reportFolder;
+    private final Collection<Path> sourceRoots;
+    private final Map<String, String> links = new ConcurrentHashMap<>();
+    private volatile Map<String, Path> sourceIndex;
+
+    /**
+     * @param reportFolder the links are relative to
+     * @param sourceRoots  containing the test sources
+     */
+    public SourceLocator(Path reportFolder, Collection<Path> sourceRoots) {
+        this.reportFolder = reportFolder.toAbsolutePath().normalize();
+        this.sourceRoots = sourceRoots.stream().map(p -> p.toAbsolutePath().normalize()).collect(toList());
+    }
+
+    /**
+     * @param sourceRoots comma separated list of source roots
+     */
+    static SourceLocator forSourceRoots(String sourceRoots) {
+        return new SourceLocator(Paths.get(FeaturesGeneratorListener.REPORT_FOLDER),
+                                 Stream.of(sourceRoots.split(","))
+                                       .map(String::trim)
+                                       .filter(s -> !s.isEmpty())
+                                       .map(Paths::get)
+                                       .collect(toList()));
+    }
+
+    /**
+     * @return a markdown link to the source of the test class, or the last unique id segment if there is no class
+     */
+    public String toSourceLink(TestIdentifier tid) {
+        return tid.getSource()
+                  .flatMap(SourceLocator::className)
+                  .map(className -> links.computeIfAbsent(className, this::createLink))
+                  .orElseGet(() -> {
+                      var segment = UniqueId.parse(tid.getUniqueId()).getLastSegment();
+                      return segment.getType() + ":" + segment.getValue();
+                  });
+    }
+
+    /**
+     * @return the name of the class the source points to, empty for sources other than classes and methods
+     */
+    static Optional<String> className(TestSource source) {
+        if (source instanceof ClassSource) {
+            return Optional.of(((ClassSource) source).getClassName());
+        }
+        if (source instanceof MethodSource) {
+            return Optional.of(((MethodSource) source).getClassName());
+        }
+        return Optional.empty();
+    }
+
+    private String createLink(String className) {
+        var nested = className.indexOf('$');
+        var topLevel = nested < 0 ? className : className.substring(0, nested);
+        var simpleName = className.substring(className.lastIndexOf('.') + 1).replace('$', '.');
+
+        var file = getSourceIndex().get(topLevel);
+        var path = file != null ?
+                reportFolder.relativize(file).toString().replace('\\', '/') :
+                "../java/" + topLevel.replace('.', '/') + ".java";
+        return "[" + simpleName + "](" + path + ")";
+    }
+
+    private Map<String, Path> getSourceIndex() {
+        var index = sourceIndex;
+        if (index == null) {
+            synchronized (this) {
+                if (sourceIndex == null) {
+                    sourceIndex = indexSourceRoots();
+                }
+                index = sourceIndex;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return all java files below the source roots by their fully qualified class name
+     */
+    private Map<String, Path> indexSourceRoots() {
+        var index = new HashMap<String, Path>();
+        for (Path root : sourceRoots) {
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (var files = Files.walk(root)) {
+                files.filter(f -> f.getFileName().toString().endsWith(".java")).forEach(f -> {
+                    var relative = root.relativize(f).toString().replace('\\', '/');
+                    var className = relative.substring(0, relative.length() - ".java".length()).replace('/', '.');
+                    index.putIfAbsent(className, f);
+                });
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,96 @@
+package dev.nullzwo.junit.summarizer;
+
+import org.junit.platform.launcher.TestIdentifier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Reverse index from ticket keys to the features and scenarios mentioning them.
+ * <p>
+ * Serialized as one tab separated line per reference:
+ * {@code key, kind, feature, display name, source class, unique id}.
+ */
+public class TicketIndex {
+    public static final String FILE_NAME = "tickets.tsv";
+    public static final String FEATURE = "feature";
+    public static final String SCENARIO = "scenario";
+
+    private static final Pattern TAB = Pattern.compile("\t");
+
+    private final Map<String, Set<Reference>> references = new TreeMap<>();
+
+    /**
+     * A feature or scenario which mentions a ticket key.
+     */
+    public static class Reference {
+        public final String kind;
+        public final String feature;
+        public final String displayName;
+        public final String sourceClass;
+        public final String uniqueId;
+
+        Reference(String kind, String feature, String displayName, String sourceClass, String uniqueId) {
+            this.kind = kind;
+            this.feature = feature;
+            this.displayName = displayName;
+            this.sourceClass = sourceClass;
+            this.uniqueId = uniqueId;
+        }
+
+        static Reference of(String kind, String feature, TestIdentifier tid) {
+            var sourceClass = tid.getSource().flatMap(SourceLocator::className).orElse("");
+            return new Reference(kind, feature, FeaturesGeneratorListener.toDisplayName(tid), sourceClass,
+                                 tid.getUniqueId());
+        }
+
+        String toLine() {
+            return Stream.of(kind, feature, displayName, sourceClass, uniqueId)
+                         .map(s -> s.replaceAll("[\t\n]", " "))
+                         .collect(joining("\t"));
+        }
+    }
+
+    void add(String key, Reference reference) {
+        references.computeIfAbsent(key, k -> new TreeSet<>(comparing(Reference::toLine))).add(reference);
+    }
+
+    /**
+     * @return all features and scenarios which mention the ticket key
+     */
+    public Collection<Reference> find(String key) {
+        return references.getOrDefault(key, Set.of());
+    }
+
+    public Set<String> getKeys() {
+        return references.keySet();
+    }
+
+    public String serialize() {
+        return references.entrySet().stream()
+                         .flatMap(e -> e.getValue().stream().map(r -> e.getKey() + "\t" + r.toLine() + "\n"))
+                         .collect(joining());
+    }
+
+    public static TicketIndex parse(String serialized) {
+        var index = new TicketIndex();
+        serialized.lines().filter(l -> !l.isBlank()).forEach(line -> {
+            var cols = new ArrayList<>(List.of(TAB.split(line, -1)));
+            while (cols.size() < 6) {
+                cols.add("");
+            }
+            index.add(cols.get(0), new Reference(cols.get(1), cols.get(2), cols.get(3), cols.get(4), cols.get(5)));
+        });
+        return index;
+    }
+}
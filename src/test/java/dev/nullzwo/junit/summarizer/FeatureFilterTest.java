@@ -0,0 +1,74 @@
+package dev.nullzwo.junit.summarizer;
+
+import java.util.Set;
+
+import dev.nullzwo.junit.summarizer.FeaturesGeneratorListenerTest.TestTestDescriptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestDescriptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.TestDescriptor.Type.CONTAINER;
+import static org.junit.platform.engine.TestDescriptor.Type.TEST;
+
+@Feature
+@DisplayName("select tests by feature")
+class FeatureFilterTest {
+    TestDescriptor root = new TestTestDescriptor(CONTAINER, "root", "root");
+    TestDescriptor tagged = new TestTestDescriptor(CONTAINER, "tagged", "ABC-123 tagged", Feature.TAG_VALUE);
+    TestDescriptor taggedTest = new TestTestDescriptor(TEST, "taggedTest", "a");
+    TestDescriptor untagged = new TestTestDescriptor(CONTAINER, "untagged", "untagged");
+    TestDescriptor scenario = new TestTestDescriptor(TEST, "scenario", "b", Scenario.TAG_VALUE);
+    TestDescriptor other = new TestTestDescriptor(TEST, "other", "c");
+
+    {
+        root.addChild(tagged);
+        tagged.addChild(taggedTest);
+        root.addChild(untagged);
+        untagged.addChild(scenario);
+        untagged.addChild(other);
+    }
+
+    @Test
+    @DisplayName("should keep all tests without selection")
+    void includesAllWithoutSelection() {
+        var filter = new FeatureFilter(FeatureFilter.parseSelection(" , "));
+
+        assertThat(filter.apply(taggedTest).included()).isTrue();
+        assertThat(filter.apply(other).included()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should select untagged containers with scenarios by feature name")
+    void selectsUntaggedFeatureByName() {
+        var filter = new FeatureFilter(Set.of("untagged"));
+
+        assertThat(filter.apply(scenario).included()).isTrue();
+        assertThat(filter.apply(other).included()).isTrue();
+        assertThat(filter.apply(root).included()).isTrue();
+        assertThat(filter.apply(tagged).included()).isFalse();
+        assertThat(filter.apply(taggedTest).included()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should select features by ticket key or report file name")
+    void selectsFeatureByKey() {
+        assertThat(new FeatureFilter(Set.of("ABC-123")).apply(taggedTest).included()).isTrue();
+        assertThat(new FeatureFilter(Set.of("abc-123-tagged")).apply(taggedTest).included()).isTrue();
+        assertThat(new FeatureFilter(Set.of("ABC-123")).apply(scenario).included()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should not reuse the selection of an earlier discovery")
+    void recomputesSelectionForNewDiscovery() {
+        var filter = new FeatureFilter(Set.of("untagged"));
+        filter.apply(root);
+        assertThat(filter.apply(scenario).included()).isTrue();
+
+        var added = new TestTestDescriptor(TEST, "added", "d", Scenario.TAG_VALUE);
+        untagged.addChild(added);
+        filter.apply(root);
+
+        assertThat(filter.apply(added).included()).isTrue();
+    }
+}
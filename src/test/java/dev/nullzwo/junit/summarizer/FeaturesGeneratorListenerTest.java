@@ -1,18 +1,26 @@
 package dev.nullzwo.junit.summarizer;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.FixDescription;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
 import org.junit.platform.engine.TestTag;
 import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
 import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.TestPlan;
 
@@ -24,6 +32,22 @@ import static org.junit.platform.engine.TestDescriptor.Type.TEST;
 @Feature
 @DisplayName("APP-123 basic functionality of summarizer")
 class FeaturesGeneratorListenerTest {
+    /**
+     * Report entry value jqwik publishes for a property, keyed by the property name.
+     */
+    static final String JQWIK_REPORT = "\n" +
+            "                              |-----------------------jqwik-----------------------\n" +
+            "tries = 1000                  | # of calls to property\n" +
+            "checks = 990                  | # of not rejected calls\n" +
+            "generation = RANDOMIZED       | parameters are randomly generated\n" +
+            "after-failure = SAMPLE_FIRST  | try previously failed sample, then previous seed\n" +
+            "when-fixed-seed = ALLOW       | fixing the random seed is allowed\n" +
+            "edge-cases#mode = MIXIN       | edge cases are mixed in\n" +
+            "edge-cases#total = 4          | # of all combined edge cases\n" +
+            "edge-cases#tried = 4          | # of edge cases tried in current run\n" +
+            "seed = -1398745963817288433   | random seed to reproduce generated values\n";
+    static final SourceLocator SOURCE_LOCATOR = SourceLocator.forSourceRoots(SourceLocator.DEFAULT_SOURCE_ROOT);
+
     Algebras algebras;
     TestPlan testPlan;
 
@@ -164,6 +188,226 @@ class FeaturesGeneratorListenerTest {
         }
     }
 
+    @Nested
+    @DisplayName("links ticket keys in reports")
+    class LinkTickets {
+
+        @Test
+        @DisplayName("should link ticket keys to the configured url and index them")
+        void linksAndIndexesTicketKeys() {
+            var parent = feature("p", "ABC-123 parent");
+            parent.addChild(test("foo", "XYZ-456 foo"));
+            initPlan(parent);
+            algebras = new Algebras(testPlan, Set.of(), "https://tickets/", Map.of(), SOURCE_LOCATOR);
+
+            var report = render(headTid());
+
+            assertThat(report).contains("# [ABC-123](https://tickets/ABC-123) parent",
+                                        "- [XYZ-456](https://tickets/XYZ-456) foo");
+            assertThat(algebras.getTickets().find("XYZ-456")).singleElement()
+                                                             .satisfies(ref -> {
+                                                                 assertThat(ref.kind).isEqualTo(TicketIndex.SCENARIO);
+                                                                 assertThat(ref.feature).isEqualTo("ABC-123 parent");
+                                                                 assertThat(ref.uniqueId).endsWith("[method:foo]");
+                                                             });
+        }
+
+        @Test
+        void doesNotLinkTicketKeysOfSubFeaturesTwice() {
+            var parent = feature("p", "parent");
+            parent.addChild(feature("foo", "ABC-123 foo"));
+            initPlan(parent);
+
+            var report = render(headTid());
+
+            assertThat(report).contains("## [ABC-123](http://jira/browse/ABC-123) foo");
+        }
+
+        @Test
+        void ticketIndexCanBeParsedAgain() {
+            var parent = feature("p", "ABC-123 parent");
+            parent.addChild(test("foo", "ABC-123 foo"));
+            initPlan(parent);
+            render(headTid());
+
+            var serialized = algebras.getTickets().serialize();
+
+            assertThat(TicketIndex.parse(serialized).serialize()).isEqualTo(serialized);
+            assertThat(TicketIndex.parse(serialized).find("ABC-123")).hasSize(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("summarizes published report entries")
+    class SummarizeMetrics {
+
+        @Test
+        @DisplayName("should sum up the numbers reported by all scenarios of a feature")
+        void sumsReportedNumbers() {
+            var parent = feature("p", "parent");
+            var property = test("foo", "Foo");
+            var parameterized = container("bar", "Bar", Scenario.TAG_VALUE);
+            var invocation = test("bar1", "[1]");
+            parent.addChild(property);
+            parent.addChild(parameterized);
+            parameterized.addChild(invocation);
+            initPlan(parent);
+
+            var fooMetrics = new ReportedMetrics();
+            fooMetrics.add("FeaturesGeneratorListenerTest:foo", JQWIK_REPORT);
+            var barMetrics = new ReportedMetrics();
+            barMetrics.add("tries", "5");
+            barMetrics.add("seed", "42");
+            algebras = new Algebras(testPlan, Set.of(), FeaturesGeneratorListener.VAM_JIRA_URL,
+                                    Map.of(TestIdentifier.from(property), fooMetrics,
+                                           TestIdentifier.from(invocation), barMetrics),
+                                    SOURCE_LOCATOR);
+
+            var report = render(headTid());
+
+            assertThat(report).contains("<small>checks: 990, edge-cases&num;total: 4, edge-cases&num;tried: 4, " +
+                                        "tries: 1005</small>");
+            assertThat(ReportedMetrics.serialize(new FeaturesGeneratorListener().createMetrics(algebras)))
+                    .isEqualTo("parent\tchecks\t990\n" +
+                               "parent\tedge-cases#total\t4\n" +
+                               "parent\tedge-cases#tried\t4\n" +
+                               "parent\ttries\t1005\n");
+        }
+
+        @Test
+        void metricKeysKeepTheirHashesInSubFeatures() {
+            var parent = feature("p", "parent");
+            var sub = feature("s", "sub");
+            var property = test("foo", "Foo");
+            parent.addChild(sub);
+            sub.addChild(property);
+            initPlan(parent);
+
+            var metrics = new ReportedMetrics();
+            metrics.add("FeaturesGeneratorListenerTest:foo", JQWIK_REPORT);
+            algebras = new Algebras(testPlan, Set.of(), FeaturesGeneratorListener.VAM_JIRA_URL,
+                                    Map.of(TestIdentifier.from(property), metrics),
+                                    SOURCE_LOCATOR);
+
+            var report = render(headTid());
+
+            assertThat(report).contains("## sub", "edge-cases&num;total: 4").doesNotContain("##total");
+        }
+
+        @Test
+        void collectsMetricsOfSubFeaturesOnce() {
+            var parent = feature("p", "parent");
+            var sub = feature("s", "sub");
+            var property = test("foo", "Foo");
+            parent.addChild(sub);
+            sub.addChild(property);
+            initPlan(parent);
+
+            var metrics = new ReportedMetrics();
+            metrics.add("tries", "5");
+            algebras = new Algebras(testPlan, Set.of(), FeaturesGeneratorListener.VAM_JIRA_URL,
+                                    Map.of(TestIdentifier.from(property), metrics),
+                                    SOURCE_LOCATOR);
+            var listener = new FeaturesGeneratorListener();
+            listener.createReports(algebras);
+            listener.createReports(algebras);
+
+            assertThat(ReportedMetrics.serialize(listener.createMetrics(algebras)))
+                    .isEqualTo("sub\ttries\t5\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("records durations of features and scenarios")
+    class RecordTimings {
+        @TempDir
+        Path tmp;
+
+        @Test
+        @DisplayName("should merge the durations of a run into the timings file")
+        void writesTimingsFile() throws IOException {
+            var feature = withSource(container("foo", "Foo", Feature.TAG_VALUE), ClassSource.from("dev.x.Foo"));
+            var template = withSource(container("bar", "bar"), MethodSource.from("dev.x.Foo", "bar", "int"));
+            var invocation1 = withSource(test("bar1", "[1]"), MethodSource.from("dev.x.Foo", "bar", "int"));
+            var invocation2 = withSource(test("bar2", "[2]"), MethodSource.from("dev.x.Foo", "bar", "int"));
+            var overload = withSource(test("bar3", "bar"), MethodSource.from("dev.x.Foo", "bar", ""));
+            feature.addChild(template);
+            template.addChild(invocation1);
+            template.addChild(invocation2);
+            feature.addChild(overload);
+            initPlan(feature);
+
+            var listener = new FeaturesGeneratorListener();
+            Stream.of(feature, template, invocation1, invocation2, overload).map(TestIdentifier::from)
+                  .forEach(listener::executionStarted);
+            Stream.of(invocation1, invocation2, overload, template, feature).map(TestIdentifier::from)
+                  .forEach(tid -> listener.executionFinished(tid, TestExecutionResult.successful()));
+            // simulate a slow template and fast invocations
+            listener.durations.put(TestIdentifier.from(template), 50L);
+            listener.durations.put(TestIdentifier.from(invocation1), 20L);
+            listener.durations.put(TestIdentifier.from(invocation2), 30L);
+
+            var file = tmp.resolve("timings.tsv");
+            Files.writeString(file, "dev.y.Other\t7\n");
+            listener.writeTimings(algebras, file);
+
+            var timings = FeatureTimings.read(file);
+            assertThat(Files.readAllLines(file)).hasSize(4);
+            assertThat(timings.get("dev.y.Other")).contains(7L);
+            assertThat(timings.get("dev.x.Foo")).isPresent();
+            assertThat(timings.get("dev.x.Foo#bar(int)")).contains(50L);
+            assertThat(timings.get("dev.x.Foo#bar()")).isPresent();
+        }
+
+        @Test
+        @DisplayName("should give all classes of a feature the summed up duration of the feature")
+        void sumsDurationsOfFeature() {
+            var cart = withSource(container("cart", "Shop", Feature.TAG_VALUE), ClassSource.from("dev.x.Cart"));
+            var checkout = withSource(container("checkout", "Shop", Feature.TAG_VALUE),
+                                      ClassSource.from("dev.x.Checkout"));
+            var other = withSource(container("other", "Other"), ClassSource.from("dev.x.Other"));
+            cart.addChild(test("add", "add"));
+            checkout.addChild(test("pay", "pay"));
+            other.addChild(test("plain", "plain"));
+            initPlan(cart, checkout, other);
+
+            var listener = new FeaturesGeneratorListener();
+            listener.durations.put(TestIdentifier.from(cart), 30L);
+            listener.durations.put(TestIdentifier.from(checkout), 12L);
+            listener.durations.put(TestIdentifier.from(other), 5L);
+
+            var timings = listener.recordTimings(algebras);
+
+            assertThat(timings.get("dev.x.Cart")).contains(42L);
+            assertThat(timings.get("dev.x.Checkout")).contains(42L);
+            assertThat(timings.get("dev.x.Other")).contains(5L);
+        }
+
+        @Test
+        @DisplayName("should skip malformed lines of the timings file")
+        void skipsMalformedLines() throws IOException {
+            var file = tmp.resolve("timings.tsv");
+            Files.writeString(file, "<<<<<<< HEAD\ndev.x.Foo\t12\n=======\ndev.x.Foo\tabc\n>>>>>>> main\n");
+
+            var timings = FeatureTimings.read(file);
+
+            assertThat(timings.get("dev.x.Foo")).contains(12L);
+            assertThat(timings.get("=======")).isEmpty();
+        }
+
+        TestDescriptor withSource(TestDescriptor descriptor, TestSource source) {
+            return new TestTestDescriptor(descriptor.getType(), descriptor.getUniqueId().getLastSegment().getValue(),
+                                          descriptor.getDisplayName(), source,
+                                          descriptor.getTags().stream().map(TestTag::getName).toArray(String[]::new));
+        }
+    }
+
+    String render(TestIdentifier feature) {
+        return FixDescription.unfold(algebras.createDescription)
+                             .andThen(FixDescription.fold(algebras.showDescription))
+                             .apply(feature);
+    }
+
     TestIdentifier headTid() {
         return testPlan.getRoots().iterator().next();
     }
@@ -185,27 +429,7 @@ class FeaturesGeneratorListenerTest {
     }
 
     void initPlan(TestDescriptor... descriptors) {
-        testPlan = TestPlan.from(List.of(descriptors), new ConfigurationParameters() {
-            @Override
-            public Optional<String> get(String key) {
-                return Optional.empty();
-            }
-
-            @Override
-            public Optional<Boolean> getBoolean(String key) {
-                return Optional.empty();
-            }
-
-            @Override
-            public int size() {
-                return 0;
-            }
-
-            @Override
-            public Set<String> keySet() {
-                return Set.of();
-            }
-        });
+        testPlan = TestPlan.from(List.of(descriptors), FeaturesGeneratorListener.NO_CONFIGURATION);
         algebras = new Algebras(testPlan, Set.of());
     }
 
@@ -214,7 +438,12 @@ class FeaturesGeneratorListenerTest {
         private final Set<TestTag> tags;
 
         public TestTestDescriptor(Type type, String uniqueId, String displayName, String... tags) {
-            super(UniqueId.forEngine("test").append("method", uniqueId), displayName);
+            this(type, uniqueId, displayName, null, tags);
+        }
+
+        public TestTestDescriptor(Type type, String uniqueId, String displayName, TestSource source,
+                                  String... tags) {
+            super(UniqueId.forEngine("test").append("method", uniqueId), displayName, source);
             this.type = type;
             this.tags = Stream.of(tags).map(TestTag::create).collect(toSet());
         }
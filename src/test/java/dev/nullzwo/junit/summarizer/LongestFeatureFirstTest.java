@@ -0,0 +1,60 @@
+package dev.nullzwo.junit.summarizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Feature
+@DisplayName("schedule the longest features first")
+class LongestFeatureFirstTest {
+    static final int WORKERS = 4;
+
+    @Test
+    @DisplayName("should order by recorded duration and put unknown features last")
+    void ordersByDuration() {
+        var timings = new FeatureTimings();
+        timings.put("a", 10);
+        timings.put("b", 30);
+        var names = new ArrayList<>(List.of("unknown", "a", "b"));
+
+        names.sort(LongestFeatureFirst.longestFirst(timings));
+
+        assertThat(names).containsExactly("b", "a", "unknown");
+    }
+
+    @Test
+    @DisplayName("should reduce the total time of a synthetic parallel suite")
+    void reducesWallTimeOfSyntheticSuite() {
+        var timings = new FeatureTimings();
+        // many short features, a few long ones which come last in the default order
+        var features = IntStream.range(0, 39).mapToObj(i -> "feature" + i).collect(toList());
+        features.forEach(f -> timings.put(f, features.indexOf(f) >= 36 ? 120 : 10));
+
+        var sorted = new ArrayList<>(features);
+        sorted.sort(LongestFeatureFirst.longestFirst(timings));
+
+        var defaultTime = wallTime(features, timings);
+        var longestFirstTime = wallTime(sorted, timings);
+        assertThat(defaultTime).isEqualTo(210);
+        assertThat(longestFirstTime).isEqualTo(180);
+    }
+
+    /**
+     * Simulates the execution of the features on a fixed number of workers, each feature starts on the first free one.
+     */
+    static long wallTime(List<String> order, FeatureTimings timings) {
+        var workers = new PriorityQueue<Long>();
+        IntStream.range(0, WORKERS).forEach(i -> workers.add(0L));
+        for (String feature : order) {
+            workers.add(workers.poll() + timings.get(feature).orElse(0L));
+        }
+        return workers.stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+}
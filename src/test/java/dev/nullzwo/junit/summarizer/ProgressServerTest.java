@@ -0,0 +1,128 @@
+package dev.nullzwo.junit.summarizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import dev.nullzwo.junit.summarizer.FeaturesGeneratorListenerTest.TestTestDescriptor;
+import dev.nullzwo.junit.summarizer.ProgressServer.FeatureProgress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.platform.engine.TestDescriptor.Type.CONTAINER;
+import static org.junit.platform.engine.TestDescriptor.Type.TEST;
+
+@Feature
+@DisplayName("publish feature progress while tests are running")
+class ProgressServerTest {
+
+    @Test
+    @DisplayName("should count running, done and aborted scenarios per feature")
+    void countsScenarioProgress() throws IOException {
+        var a = scenario("a");
+        var b = scenario("b");
+        var c = scenario("c");
+        var feature = new FeatureProgress("say \"hi\"", 3);
+
+        try (var server = new ProgressServer(0, Map.of(a.getUniqueId(), feature,
+                                                       b.getUniqueId(), feature,
+                                                       c.getUniqueId(), feature))) {
+            server.executionStarted(a);
+            server.executionStarted(b);
+            server.executionStarted(c);
+            server.executionFinished(a, TestExecutionResult.successful());
+            server.executionFinished(b, TestExecutionResult.aborted(null));
+
+            var snapshot = new String(new URL("http://localhost:" + server.getPort() + "/").openStream()
+                                                                                           .readAllBytes(), UTF_8);
+
+            assertThat(snapshot).isEqualTo("[{\"feature\":\"say \\\"hi\\\"\",\"total\":3,\"running\":1," +
+                                           "\"done\":1,\"failed\":0,\"aborted\":1}]");
+        }
+    }
+
+    @Test
+    @DisplayName("should stream the state of all features and then one coalesced batch of changes")
+    void streamsCoalescedEvents() throws IOException {
+        var feature = new TestTestDescriptor(CONTAINER, "foo", "Foo", Feature.TAG_VALUE);
+        var scenarios = IntStream.range(0, 100)
+                                 .mapToObj(i -> new TestTestDescriptor(TEST, "foo" + i, "foo " + i))
+                                 .collect(toList());
+        scenarios.forEach(feature::addChild);
+        var testPlan = TestPlan.from(List.of(feature), FeaturesGeneratorListener.NO_CONFIGURATION);
+
+        try (var server = ProgressServer.start(0, new Algebras(testPlan, Set.of()), TimeUnit.HOURS.toMillis(1))) {
+            var events = new BufferedReader(new InputStreamReader(
+                    new URL("http://localhost:" + server.getPort() + "/events").openStream(), UTF_8));
+
+            assertThat(events.readLine()).isEqualTo("data: [{\"feature\":\"Foo\",\"total\":100,\"running\":0," +
+                                                    "\"done\":0,\"failed\":0,\"aborted\":0}]");
+            assertThat(events.readLine()).isEmpty();
+
+            scenarios.stream().map(TestIdentifier::from).forEach(tid -> {
+                server.executionStarted(tid);
+                server.executionFinished(tid, TestExecutionResult.successful());
+            });
+            server.executionStarted(TestIdentifier.from(scenarios.get(0)));
+            server.publish();
+
+            assertThat(events.readLine()).isEqualTo("data: [{\"feature\":\"Foo\",\"total\":100,\"running\":1," +
+                                                    "\"done\":100,\"failed\":0,\"aborted\":0}]");
+            assertThat(events.readLine()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("should not let a client which stops reading block publishing")
+    void dropsSlowClients() throws IOException {
+        var features = IntStream.range(0, 1000).mapToObj(i -> new FeatureProgress("feature " + i, 1))
+                                .collect(toList());
+        var scenarios = IntStream.range(0, 1000).mapToObj(i -> scenario("s" + i)).collect(toList());
+        var scenarioFeatures = IntStream.range(0, 1000).boxed()
+                                        .collect(toMap(i -> scenarios.get(i).getUniqueId(), features::get));
+
+        var server = new ProgressServer(0, scenarioFeatures, TimeUnit.HOURS.toMillis(1));
+        try (var stalled = new URL("http://localhost:" + server.getPort() + "/events").openStream()) {
+            assertThat(stalled.read()).isNotNegative();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                for (int i = 0; i < 10 * ProgressServer.MAX_PENDING_EVENTS; i++) {
+                    scenarios.forEach(server::executionStarted);
+                    server.publish();
+                }
+                server.close();
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("should reject invalid ports with a clear message")
+    void rejectsInvalidPorts() {
+        assertThat(FeaturesGeneratorListener.parsePort(" 8765 ")).isEqualTo(8765);
+        assertThatThrownBy(() -> FeaturesGeneratorListener.parsePort("eighty"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(FeaturesGeneratorListener.PROGRESS_PORT);
+        assertThatThrownBy(() -> FeaturesGeneratorListener.parsePort("70000"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    TestIdentifier scenario(String uniqueId) {
+        return TestIdentifier.from(new TestTestDescriptor(TEST, uniqueId, uniqueId));
+    }
+}
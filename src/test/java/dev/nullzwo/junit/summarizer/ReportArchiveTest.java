@@ -0,0 +1,72 @@
+package dev.nullzwo.junit.summarizer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import dev.nullzwo.junit.summarizer.FeaturesGeneratorListener.Tuple2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Feature
+@DisplayName("write all reports into a single archive")
+class ReportArchiveTest {
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("should suffix reports whose names result in the same file name")
+    void collidingFileNamesAreSuffixed() {
+        var files = FeaturesGeneratorListener.toReportFiles(List.of(new Tuple2<>("Foo Bar", "# Foo Bar"),
+                                                                    new Tuple2<>("foo-bar", "# foo-bar")));
+
+        assertThat(files).extracting(t -> t._1).containsExactlyInAnyOrder("foo-bar.md", "foo-bar_2.md");
+    }
+
+    @Test
+    @DisplayName("should reject unknown output modes with a clear message")
+    void rejectsUnknownOutputModes() {
+        assertThat(FeaturesGeneratorListener.parseOutputMode(" Archive "))
+                .isEqualTo(FeaturesGeneratorListener.ARCHIVE_OUTPUT);
+        assertThat(FeaturesGeneratorListener.parseOutputMode("files"))
+                .isEqualTo(FeaturesGeneratorListener.FILES_OUTPUT);
+        assertThatThrownBy(() -> FeaturesGeneratorListener.parseOutputMode("zip"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(FeaturesGeneratorListener.OUTPUT_MODE);
+    }
+
+    @Test
+    @DisplayName("should not mix up a feature named index with the archive index")
+    void featureNamedIndexDoesNotCollideWithArchiveIndex() throws IOException {
+        var archive = tmp.resolve("features.zip");
+        var files = FeaturesGeneratorListener.toReportFiles(List.of(new Tuple2<>("Index", "# Index\n\n- a")));
+
+        ReportArchive.write(archive, files);
+
+        try (var reader = ReportArchive.open(archive)) {
+            assertThat(reader.getFeatures()).containsExactly("index.md");
+            assertThat(reader.read("index.md")).contains("# Index\n\n- a");
+            assertThat(reader.getIndex()).hasValueSatisfying(index -> assertThat(index).contains("- [Index](index.md)"));
+        }
+    }
+
+    @Test
+    @DisplayName("should read single reports and the index back from the archive")
+    void readsReportsFromArchive() throws IOException {
+        var archive = tmp.resolve("features.zip");
+        ReportArchive.write(archive, List.of(new Tuple2<>("foo.md", "# Foo\n\n- a"),
+                                             new Tuple2<>("bar.md", "# Bar\n\n- b")));
+
+        try (var reader = ReportArchive.open(archive)) {
+            assertThat(reader.getFeatures()).containsExactly("bar.md", "foo.md");
+            assertThat(reader.read("foo.md")).contains("# Foo\n\n- a");
+            assertThat(reader.read("missing.md")).isEmpty();
+            assertThat(reader.getIndex()).hasValueSatisfying(index -> assertThat(index).contains("- [Bar](bar.md)",
+                                                                                                  "- [Foo](foo.md)"));
+        }
+    }
+}
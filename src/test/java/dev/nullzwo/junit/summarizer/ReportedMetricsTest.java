@@ -0,0 +1,36 @@
+package dev.nullzwo.junit.summarizer;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Feature
+@DisplayName("collect numbers from published report entries")
+class ReportedMetricsTest {
+
+    @Test
+    @DisplayName("should only read values starting with a number")
+    void parsesLeadingNumbers() {
+        assertThat(ReportedMetrics.parseLeadingNumber("1000   | # of calls to property")).isEqualTo(1000L);
+        assertThat(ReportedMetrics.parseLeadingNumber(" -3")).isEqualTo(-3L);
+        assertThat(ReportedMetrics.parseLeadingNumber("RANDOMIZED | parameters are randomly generated")).isNull();
+        assertThat(ReportedMetrics.parseLeadingNumber("12ms")).isNull();
+        assertThat(ReportedMetrics.parseLeadingNumber("")).isNull();
+    }
+
+    @Test
+    @DisplayName("should keep a bounded number of keys per scenario")
+    void limitsNumberOfKeys() {
+        var metrics = new ReportedMetrics();
+        IntStream.range(0, ReportedMetrics.MAX_KEYS * 2).forEach(i -> metrics.add("key" + i, "1"));
+        metrics.add("key0", "1");
+
+        var sums = ReportedMetrics.sum(List.of(metrics));
+
+        assertThat(sums).hasSize(ReportedMetrics.MAX_KEYS).containsEntry("key0", 2L);
+    }
+}
@@ -0,0 +1,69 @@
+package dev.nullzwo.junit.summarizer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import dev.nullzwo.junit.summarizer.FeaturesGeneratorListenerTest.TestTestDescriptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestIdentifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.TestDescriptor.Type.CONTAINER;
+
+@Feature
+@DisplayName("link reports to the test sources")
+class SourceLocatorTest {
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("should link nested classes and methods to the file of the top level class in any source root")
+    void linksToIndexedSourceFile() throws IOException {
+        var source = tmp.resolve("module-a/src/test/java/dev/x/Foo.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "class Foo {}");
+        var locator = new SourceLocator(tmp.resolve("src/test/features"),
+                                        List.of(tmp.resolve("src/test/java"), tmp.resolve("module-a/src/test/java")));
+
+        assertThat(locator.toSourceLink(withSource(ClassSource.from("dev.x.Foo$Inner"))))
+                .isEqualTo("[Foo.Inner](../../../module-a/src/test/java/dev/x/Foo.java)");
+        assertThat(locator.toSourceLink(withSource(MethodSource.from("dev.x.Foo", "bar"))))
+                .isEqualTo("[Foo](../../../module-a/src/test/java/dev/x/Foo.java)");
+    }
+
+    @Test
+    @DisplayName("should link unknown classes to the default layout")
+    void linksUnknownClassesToDefaultLayout() {
+        var locator = new SourceLocator(tmp.resolve("src/test/features"), List.of(tmp.resolve("src/test/java")));
+
+        assertThat(locator.toSourceLink(withSource(ClassSource.from("dev.y.Bar"))))
+                .isEqualTo("[Bar](../java/dev/y/Bar.java)");
+    }
+
+    @Test
+    void usesLastUniqueIdSegmentWithoutSource() {
+        var locator = new SourceLocator(tmp, List.of());
+
+        assertThat(locator.toSourceLink(TestIdentifier.from(new TestTestDescriptor(CONTAINER, "foo", "Foo"))))
+                .isEqualTo("method:foo");
+    }
+
+    TestIdentifier withSource(TestSource source) {
+        return TestIdentifier.from(new AbstractTestDescriptor(UniqueId.forEngine("test").append("class", "x"),
+                                                              "x", source) {
+            @Override
+            public Type getType() {
+                return CONTAINER;
+            }
+        });
+    }
+}